@@ -1,11 +1,23 @@
 package dev.luxmiyu.miniteleport;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 
+import net.minecraft.world.World;
 import net.minecraft.world.GameRules;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.WorldSavePath;
@@ -38,24 +50,44 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Map;
 import java.util.List;
 import java.util.UUID;
 import java.util.EnumSet;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.jetbrains.annotations.Nullable;
 
+import dev.luxmiyu.miniteleport.api.Warp;
+import dev.luxmiyu.miniteleport.api.TeleportRequest;
+import dev.luxmiyu.miniteleport.api.MiniTeleportEvents;
+import dev.luxmiyu.miniteleport.api.MiniTeleportEntrypoint;
+
 public class MiniTeleport implements ModInitializer {
     static final String MOD_ID = "miniteleport";
     static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
@@ -65,14 +97,35 @@ public class MiniTeleport implements ModInitializer {
     static final Predicate<ServerCommandSource> PERMISSIONS_ADMIN = source -> source.hasPermissionLevel(4);
 
     static final long REQUEST_TIMEOUT_MS = 60_000; // 60 seconds
+    static final int TRANSFER_PROGRESS_INTERVAL = 1000; // player files between progress messages
+    static final int SAFE_SCAN_RANGE = 8; // blocks above and below the target
+    static final long SAFE_SPOT_TTL_MS = 300_000; // 5 minutes
+
+    record TransferStats(int warps, int players, int homes, int skipped) {
+    }
 
-    record Warp(String name, int x, int y, int z, String dimension) {
+    record SafeSpot(BlockPos pos, long expiry) {
     }
 
-    record TeleportRequest(UUID sender, UUID receiver, boolean here, long expiry) {
+    interface IoTask<T> {
+        T run() throws IOException;
     }
 
     final List<TeleportRequest> pendingRequests = new CopyOnWriteArrayList<>();
+    final AtomicBoolean transferRunning = new AtomicBoolean(false);
+    final Map<GlobalPos, SafeSpot> safeSpots = new ConcurrentHashMap<>();
+
+    // all warp and home file writes go through this single thread, in submission order
+    final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MiniTeleport IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // only taken for writing while an import swaps its files into place
+    final ReadWriteLock dataLock = new ReentrantReadWriteLock();
+
+    volatile @Nullable MinecraftServer activeServer;
 
     // ------ WARPS ----------------------------------------------------------------------------------------------
 
@@ -95,13 +148,18 @@ public class MiniTeleport implements ModInitializer {
     }
 
     Warp[] getWarps(File file) {
-        if (!file.exists()) return new Warp[0];
+        dataLock.readLock().lock();
+        try {
+            if (!file.exists()) return new Warp[0];
 
-        try (FileReader reader = new FileReader(file)) {
-            return GSON.fromJson(reader, Warp[].class);
-        } catch (IOException e) {
-            LOGGER.error("Failed to load warps from {}", file, e);
-            return new Warp[0];
+            try (FileReader reader = new FileReader(file)) {
+                return GSON.fromJson(reader, Warp[].class);
+            } catch (IOException e) {
+                LOGGER.error("Failed to load warps from {}", file, e);
+                return new Warp[0];
+            }
+        } finally {
+            dataLock.readLock().unlock();
         }
     }
 
@@ -112,70 +170,101 @@ public class MiniTeleport implements ModInitializer {
         return null;
     }
 
-    void writeFile(File file, Object object) {
-        try {
-            Files.createDirectories(file.getParentFile().toPath());
+    void writeJson(File file, Object object) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+
+        Path tempFile = Files.createTempFile(file.getParentFile().toPath(), "tmp-", ".json");
+        try (FileWriter writer = new FileWriter(tempFile.toFile())) {
+            GSON.toJson(object, writer);
+        }
 
-            Path tempFile = Files.createTempFile(file.getParentFile().toPath(), "tmp-", ".json");
-            try (FileWriter writer = new FileWriter(tempFile.toFile())) {
-                GSON.toJson(object, writer);
+        Files.move(
+            tempFile,
+            file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+
+    <T> CompletableFuture<T> supplyIo(IoTask<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }, executor);
+    }
 
-            Files.move(
-                tempFile,
-                file.toPath(),
-                StandardCopyOption.REPLACE_EXISTING,
-                StandardCopyOption.ATOMIC_MOVE
-            );
-        } catch (IOException e) {
-            LOGGER.error("Failed to save warps to {}", file, e);
-        }
+    void fireWarpChanged(MinecraftServer server, @Nullable UUID uuid, String name, @Nullable Warp warp) {
+        server.execute(() -> MiniTeleportEvents.WARP_CHANGED.invoker().onWarpChanged(server, uuid, name, warp));
     }
 
-    void setWarp(String name, ServerPlayerEntity player, @Nullable UUID uuid) {
-        MinecraftServer server = player.getEntityWorld().getServer();
+    // read-modify-write, only ever run on ioExecutor so concurrent changes to a file can't be lost
+    @Nullable Warp putWarp(MinecraftServer server, Warp warp, @Nullable UUID uuid) throws IOException {
         ArrayList<Warp> warps = new ArrayList<>(List.of(getWarps(getFile(server, uuid))));
-        String dimension = player.getEntityWorld().getRegistryKey().getValue().toString();
-        Warp warp = new Warp(name, (int) Math.floor(player.getX()), (int) Math.floor(player.getY()),
-            (int) Math.floor(player.getZ()), dimension);
 
-        boolean warpExists = false;
+        Warp previous = null;
         for (int i = 0; i < warps.size(); i++) {
-            if (warps.get(i).name().equals(name)) {
+            if (warps.get(i).name().equals(warp.name())) {
+                if (previous == null) previous = warps.get(i);
                 warps.set(i, warp);
-                warpExists = true;
             }
         }
 
-        if (!warpExists) {
+        if (previous == null) {
             warps.add(warp);
         }
 
-        CompletableFuture.runAsync(() -> writeFile(getFile(server, uuid), warps));
+        writeJson(getFile(server, uuid), warps);
+        fireWarpChanged(server, uuid, warp.name(), warp);
+        return previous;
     }
 
-    int delWarp(String name, ServerPlayerEntity player, @Nullable UUID uuid) {
-        MinecraftServer server = player.getEntityWorld().getServer();
+    @Nullable Warp removeWarp(MinecraftServer server, String name, @Nullable UUID uuid) throws IOException {
         ArrayList<Warp> warps = new ArrayList<>(List.of(getWarps(getFile(server, uuid))));
 
-        int delIndex = -1;
+        Warp previous = null;
         for (int i = 0; i < warps.size(); i++) {
             if (warps.get(i).name().equals(name)) {
-                delIndex = i;
+                previous = warps.remove(i);
                 break;
             }
         }
 
+        if (previous == null) return null;
+
+        writeJson(getFile(server, uuid), warps);
+        fireWarpChanged(server, uuid, name, null);
+        return previous;
+    }
+
+    void setWarp(String name, ServerPlayerEntity player, @Nullable UUID uuid) {
+        MinecraftServer server = player.getEntityWorld().getServer();
+        String dimension = player.getEntityWorld().getRegistryKey().getValue().toString();
+        Warp warp = new Warp(name, (int) Math.floor(player.getX()), (int) Math.floor(player.getY()),
+            (int) Math.floor(player.getZ()), dimension);
+
+        supplyIo(() -> putWarp(server, warp, uuid), ioExecutor).exceptionally(e -> {
+            LOGGER.error("Failed to save warps to {}", getFile(server, uuid), e);
+            return null;
+        });
+    }
+
+    int delWarp(String name, ServerPlayerEntity player, @Nullable UUID uuid) {
+        MinecraftServer server = player.getEntityWorld().getServer();
         String start = uuid == null ? "Warp '" : "Home '";
 
-        if (delIndex == -1) {
+        if (getWarp(server, name, uuid) == null) {
             player.sendMessage(
                 Text.literal(start + name + "' does not exist!").formatted(Formatting.RED),
                 false);
             return 0;
         } else {
-            warps.remove(delIndex);
-            CompletableFuture.runAsync(() -> writeFile(getFile(server, uuid), warps));
+            supplyIo(() -> removeWarp(server, name, uuid), ioExecutor).exceptionally(e -> {
+                LOGGER.error("Failed to save warps to {}", getFile(server, uuid), e);
+                return null;
+            });
 
             player.sendMessage(
                 Text.literal(start + name + "' deleted!").formatted(Formatting.AQUA), false);
@@ -183,6 +272,11 @@ public class MiniTeleport implements ModInitializer {
         }
     }
 
+    @Nullable ServerWorld getWorld(MinecraftServer server, String dimension) {
+        Identifier id = Identifier.tryParse(dimension);
+        return id == null ? null : server.getWorld(RegistryKey.of(RegistryKeys.WORLD, id));
+    }
+
     void doTeleportEffect(ServerWorld world, ServerPlayerEntity player) {
         world.playSound(
             null,
@@ -212,17 +306,25 @@ public class MiniTeleport implements ModInitializer {
             return 0;
         }
 
-        ServerWorld world = player.getEntityWorld().getServer()
-            .getWorld(RegistryKey.of(RegistryKeys.WORLD, Identifier.of(warp.dimension())));
+        ServerWorld world = getWorld(player.getEntityWorld().getServer(), warp.dimension());
         if (world == null) {
             player.sendMessage(Text.literal("That dimension doesn't exist!").formatted(Formatting.RED), false);
             return 0;
         }
 
+        BlockPos spot = new BlockPos(warp.x(), warp.y(), warp.z());
+        if (!player.isCreative() && !player.isSpectator()) {
+            spot = getSafeSpot(world, spot);
+            if (spot == null) {
+                player.sendMessage(Text.literal("That location isn't safe!").formatted(Formatting.RED), false);
+                return 0;
+            }
+        }
+
         setWarp("back", player, player.getUuid());
 
-        player.teleport(world, warp.x() + 0.5, warp.y() + 0.1, warp.z() + 0.5, EnumSet.noneOf(PositionFlag.class),
-            player.getYaw(), player.getPitch(), true);
+        player.teleport(world, spot.getX() + 0.5, getLandingY(world, spot), spot.getZ() + 0.5,
+            EnumSet.noneOf(PositionFlag.class), player.getYaw(), player.getPitch(), true);
 
         doTeleportEffect(world, player);
 
@@ -261,6 +363,95 @@ public class MiniTeleport implements ModInitializer {
         return text;
     }
 
+    // ------ SAFETY ---------------------------------------------------------------------------------------------
+
+    boolean isDangerous(BlockState state) {
+        return state.getFluidState().isIn(FluidTags.LAVA)
+            || state.isIn(BlockTags.FIRE)
+            || state.isIn(BlockTags.CAMPFIRES)
+            || state.isOf(Blocks.MAGMA_BLOCK)
+            || state.isOf(Blocks.CACTUS)
+            || state.isOf(Blocks.SWEET_BERRY_BUSH)
+            || state.isOf(Blocks.WITHER_ROSE)
+            || state.isOf(Blocks.POWDER_SNOW)
+            || state.isOf(Blocks.POINTED_DRIPSTONE);
+    }
+
+    // feet may be a low block (slabs, carpets) the player stands on, head must be free and something has to hold
+    // the player up
+    boolean isSafe(ServerWorld world, BlockPos pos) {
+        if (world.isOutOfHeightLimit(pos.down()) || world.isOutOfHeightLimit(pos.up())) return false;
+
+        BlockState ground = world.getBlockState(pos.down());
+        BlockState feet = world.getBlockState(pos);
+        BlockState head = world.getBlockState(pos.up());
+
+        if (isDangerous(ground) || isDangerous(feet) || isDangerous(head)) return false;
+        if (!head.getCollisionShape(world, pos.up()).isEmpty()) return false;
+
+        VoxelShape feetShape = feet.getCollisionShape(world, pos);
+        if (feetShape.isEmpty()) {
+            // fences and walls reach into the feet block, which would put the player inside them
+            VoxelShape groundShape = ground.getCollisionShape(world, pos.down());
+            return !groundShape.isEmpty() && groundShape.getMax(Direction.Axis.Y) <= 1.0;
+        }
+        if (feetShape.getMax(Direction.Axis.Y) > 0.5) return false;
+
+        // standing on top of the feet block pushes the head into the block above it
+        BlockPos above = pos.up(2);
+        return world.isOutOfHeightLimit(above) || world.getBlockState(above).getCollisionShape(world, above).isEmpty();
+    }
+
+    // stands the player on top of low blocks instead of inside them
+    double getLandingY(ServerWorld world, BlockPos pos) {
+        VoxelShape shape = world.getBlockState(pos).getCollisionShape(world, pos);
+        return pos.getY() + (shape.isEmpty() ? 0.1 : shape.getMax(Direction.Axis.Y));
+    }
+
+    // checks the target column first, closest heights first, then the columns around it
+    @Nullable BlockPos findSafeSpot(ServerWorld world, BlockPos target) {
+        int[][] columns = {{0, 0}, {1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+        for (int[] column : columns) {
+            for (int i = 0; i <= SAFE_SCAN_RANGE * 2; i++) {
+                int dy = (i % 2 == 0) ? -i / 2 : (i + 1) / 2;
+                BlockPos pos = target.add(column[0], dy, column[1]);
+                if (isSafe(world, pos)) return pos;
+            }
+        }
+
+        return null;
+    }
+
+    // cached spots are re-checked before use, since not every block change has an event to invalidate them
+    @Nullable BlockPos getSafeSpot(ServerWorld world, BlockPos target) {
+        long now = System.currentTimeMillis();
+        safeSpots.values().removeIf(s -> s.expiry() < now);
+
+        GlobalPos key = GlobalPos.create(world.getRegistryKey(), target);
+        SafeSpot cached = safeSpots.get(key);
+        // a cached fallback is dropped once the target itself is safe again, e.g. after lava was scooped up
+        if (cached != null && isSafe(world, cached.pos())
+            && (cached.pos().equals(target) || !isSafe(world, target))) {
+            return cached.pos();
+        }
+
+        BlockPos spot = findSafeSpot(world, target);
+        if (spot == null) {
+            safeSpots.remove(key);
+        } else {
+            safeSpots.put(key, new SafeSpot(spot, now + SAFE_SPOT_TTL_MS));
+        }
+        return spot;
+    }
+
+    void invalidateSafeSpots(World world, BlockPos pos) {
+        safeSpots.keySet().removeIf(key -> key.dimension().equals(world.getRegistryKey())
+            && Math.abs(key.pos().getX() - pos.getX()) <= 1
+            && Math.abs(key.pos().getZ() - pos.getZ()) <= 1
+            && Math.abs(key.pos().getY() - pos.getY()) <= SAFE_SCAN_RANGE + 2);
+    }
+
     // ------ REQUESTS -------------------------------------------------------------------------------------------
 
     void addRequest(TeleportRequest request) {
@@ -370,19 +561,22 @@ public class MiniTeleport implements ModInitializer {
             return;
         }
 
-        if (request.here()) {
-            warpPlayer(receiver,
-                new Warp(actualSender.getName().getString(), (int) actualSender.getX(), (int) actualSender.getY(),
-                    (int) actualSender.getZ(), actualSender.getEntityWorld().getRegistryKey().getValue().toString()));
-            actualSender.sendMessage(Text.literal("Teleport request accepted!").formatted(Formatting.AQUA), false);
-        } else {
-            warpPlayer(actualSender,
-                new Warp(receiver.getName().getString(), (int) receiver.getX(), (int) receiver.getY(),
-                    (int) receiver.getZ(), receiver.getEntityWorld().getRegistryKey().getValue().toString()));
-            receiver.sendMessage(Text.literal("Teleport request accepted!").formatted(Formatting.AQUA), false);
-        }
+        ServerPlayerEntity traveler = request.here() ? receiver : actualSender;
+        ServerPlayerEntity target = request.here() ? actualSender : receiver;
 
+        int result = warpPlayer(traveler,
+            new Warp(target.getName().getString(), (int) target.getX(), (int) target.getY(),
+                (int) target.getZ(), target.getEntityWorld().getRegistryKey().getValue().toString()));
+
+        // a failed teleport still uses up the request, the sender can send a new one once the spot is safe
         removeRequest(request);
+
+        if (result == 1) {
+            target.sendMessage(Text.literal("Teleport request accepted!").formatted(Formatting.AQUA), false);
+        } else {
+            target.sendMessage(Text.literal(String.format("Couldn't teleport %s, your location isn't safe!",
+                traveler.getName().getString())).formatted(Formatting.RED), false);
+        }
     }
 
     void denyTeleportRequest(ServerPlayerEntity receiver, @Nullable ServerPlayerEntity sender) {
@@ -413,6 +607,303 @@ public class MiniTeleport implements ModInitializer {
         removeRequest(request);
     }
 
+    // ------ IMPORT / EXPORT ------------------------------------------------------------------------------------
+
+    // transfer files live in their own directory so they can never replace live data
+    @Nullable Path getTransferPath(MinecraftServer server, String fileName) {
+        Path dir = getDir(server).resolve("transfers").toAbsolutePath().normalize();
+        Path path = dir.resolve(fileName).normalize();
+        return dir.equals(path.getParent()) ? path : null;
+    }
+
+    @Nullable UUID parseUuid(String string) {
+        try {
+            return UUID.fromString(string);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    void deleteDir(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    void sendTransferFeedback(ServerCommandSource source, Text text) {
+        source.getServer().execute(() -> source.sendFeedback(() -> text, true));
+    }
+
+    // imported warps replace existing ones with the same name, everything else is kept
+    List<Warp> mergeWarps(Warp[] existing, List<Warp> imported) {
+        LinkedHashMap<String, Warp> merged = new LinkedHashMap<>();
+        for (Warp warp : existing) merged.put(warp.name(), warp);
+        for (Warp warp : imported) merged.put(warp.name(), warp);
+        return new ArrayList<>(merged.values());
+    }
+
+    // reads one warp at a time, skipping entries that are missing a name or dimension
+    List<Warp> readWarps(JsonReader reader, int[] skipped) throws IOException {
+        List<Warp> warps = new ArrayList<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Warp warp = GSON.fromJson(reader, Warp.class);
+            if (warp == null || warp.name() == null || warp.dimension() == null) {
+                skipped[0]++;
+            } else {
+                warps.add(warp);
+            }
+        }
+        reader.endArray();
+
+        return warps;
+    }
+
+    // export format: { "warps": [ ... ], "homes": { "<uuid>": [ ... ], ... } }
+    TransferStats exportData(MinecraftServer server, Path path, ServerCommandSource source) throws IOException {
+        int warpCount = 0, playerCount = 0, homeCount = 0;
+
+        Files.createDirectories(path.getParent());
+        Path tempFile = Files.createTempFile(path.getParent(), "tmp-", ".json");
+        try {
+            try (JsonWriter writer = GSON.newJsonWriter(Files.newBufferedWriter(tempFile))) {
+                writer.beginObject();
+
+                writer.name("warps").beginArray();
+                for (Warp warp : getWarps(getFile(server, null))) {
+                    GSON.toJson(warp, Warp.class, writer);
+                    warpCount++;
+                }
+                writer.endArray();
+
+                writer.name("homes").beginObject();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(getDir(server).resolve("homes"), "*.json")) {
+                    for (Path file : files) {
+                        String fileName = file.getFileName().toString();
+                        UUID uuid = parseUuid(fileName.substring(0, fileName.length() - ".json".length()));
+                        if (uuid == null) continue; // leftover temp files
+
+                        writer.name(uuid.toString()).beginArray();
+                        for (Warp home : getWarps(file.toFile())) {
+                            GSON.toJson(home, Warp.class, writer);
+                            homeCount++;
+                        }
+                        writer.endArray();
+
+                        if (++playerCount % TRANSFER_PROGRESS_INTERVAL == 0) {
+                            sendTransferFeedback(source,
+                                Text.literal(String.format("Exported homes for %d players...", playerCount))
+                                    .formatted(Formatting.GRAY));
+                        }
+                    }
+                }
+                writer.endObject();
+
+                writer.endObject();
+            }
+
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return new TransferStats(warpCount, playerCount, homeCount, 0);
+    }
+
+    // imported entries are written to a staging directory first, live data is only touched by applyImport
+    TransferStats stageImport(MinecraftServer server, Path path, Path staging, ServerCommandSource source)
+        throws IOException {
+        int warpCount = 0, playerCount = 0, homeCount = 0;
+        int[] skipped = {0};
+
+        deleteDir(staging);
+        Files.createDirectories(staging.resolve("homes"));
+
+        try (JsonReader reader = GSON.newJsonReader(Files.newBufferedReader(path))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "warps" -> {
+                        List<Warp> warps = readWarps(reader, skipped);
+                        writeJson(staging.resolve("warps.json").toFile(), warps);
+                        warpCount += warps.size();
+                    }
+                    case "homes" -> {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            UUID uuid = parseUuid(reader.nextName());
+                            if (uuid == null) {
+                                reader.skipValue();
+                                skipped[0]++;
+                                continue;
+                            }
+
+                            List<Warp> homes = readWarps(reader, skipped);
+                            writeJson(staging.resolve("homes/" + uuid + ".json").toFile(), homes);
+                            homeCount += homes.size();
+
+                            if (++playerCount % TRANSFER_PROGRESS_INTERVAL == 0) {
+                                sendTransferFeedback(source,
+                                    Text.literal(String.format("Read homes for %d players...", playerCount))
+                                        .formatted(Formatting.GRAY));
+                            }
+                        }
+                        reader.endObject();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        return new TransferStats(warpCount, playerCount, homeCount, skipped[0]);
+    }
+
+    // runs on ioExecutor, the only thread writing live data, so the merge sees every change queued before it
+    void applyImport(MinecraftServer server, Path staging) throws IOException {
+        Path dir = getDir(server);
+        Path backup = dir.resolve("import-backup");
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(staging)) {
+            files = paths.filter(Files::isRegularFile).map(staging::relativize).toList();
+        }
+
+        for (Path file : files) {
+            File staged = staging.resolve(file).toFile();
+            writeJson(staged, mergeWarps(getWarps(dir.resolve(file).toFile()), List.of(getWarps(staged))));
+        }
+
+        // a backup left behind by a failed rollback may be the only copy of the original data
+        if (Files.exists(backup)) throw new IOException(backup + " already exists");
+
+        // readers wait for the swap, so nobody sees a half-applied import
+        List<Path> touched = new ArrayList<>();
+        List<Path> placed = new ArrayList<>();
+        dataLock.writeLock().lock();
+        try {
+            for (Path file : files) {
+                Path target = dir.resolve(file);
+                touched.add(file);
+
+                if (Files.exists(target)) {
+                    Files.createDirectories(backup.resolve(file).getParent());
+                    Files.move(target, backup.resolve(file), StandardCopyOption.ATOMIC_MOVE);
+                }
+
+                Files.createDirectories(target.getParent());
+                Files.move(staging.resolve(file), target, StandardCopyOption.ATOMIC_MOVE);
+                placed.add(file);
+            }
+        } catch (IOException e) {
+            try {
+                rollbackImport(dir, backup, touched, placed);
+            } catch (IOException rollbackError) {
+                e.addSuppressed(rollbackError);
+                LOGGER.error("Failed to roll back import, original files are kept in {}", backup);
+            }
+            throw e;
+        } finally {
+            dataLock.writeLock().unlock();
+        }
+
+        deleteDir(backup);
+        deleteDir(staging);
+        server.execute(() -> MiniTeleportEvents.DATA_IMPORTED.invoker().onDataImported(server));
+    }
+
+    void rollbackImport(Path dir, Path backup, List<Path> touched, List<Path> placed) throws IOException {
+        for (Path file : touched) {
+            Path target = dir.resolve(file);
+
+            if (Files.exists(backup.resolve(file))) {
+                Files.move(backup.resolve(file), target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } else if (placed.contains(file)) {
+                Files.deleteIfExists(target);
+            }
+        }
+
+        deleteDir(backup);
+    }
+
+    int startTransfer(CommandContext<ServerCommandSource> context, boolean export) {
+        ServerCommandSource source = context.getSource();
+        MinecraftServer server = source.getServer();
+        String fileName = StringArgumentType.getString(context, "file");
+
+        Path path = getTransferPath(server, fileName);
+        if (path == null) {
+            source.sendError(Text.literal("Invalid file name!"));
+            return 0;
+        }
+
+        if (!export && !Files.isRegularFile(path)) {
+            source.sendError(Text.literal(String.format("File '%s' doesn't exist!", fileName)));
+            return 0;
+        }
+
+        if (!export && Files.exists(getDir(server).resolve("import-backup"))) {
+            source.sendError(Text.literal("A previous import failed to roll back, restore or remove "
+                + "miniteleport/import-backup first!"));
+            return 0;
+        }
+
+        if (!transferRunning.compareAndSet(false, true)) {
+            source.sendError(Text.literal("An import or export is already running!"));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal(String.format("%s '%s'...", export ? "Exporting to" : "Importing from",
+            fileName)).formatted(Formatting.YELLOW), true);
+
+        Path staging = getDir(server).resolve("import-tmp");
+
+        CompletableFuture<TransferStats> future;
+        if (export) {
+            future = supplyIo(() -> exportData(server, path, source), ForkJoinPool.commonPool());
+        } else {
+            future = supplyIo(() -> stageImport(server, path, staging, source), ForkJoinPool.commonPool())
+                .thenCompose(stats -> supplyIo(() -> {
+                    applyImport(server, staging);
+                    return stats;
+                }, ioExecutor));
+        }
+
+        future.whenComplete((stats, error) -> {
+            // released last, so a new import can't stage into the directory this one is still cleaning up
+            try {
+                if (error != null) {
+                    LOGGER.error("Failed to {} {}", export ? "export to" : "import from", path, error);
+                    if (!export) {
+                        try {
+                            deleteDir(staging);
+                        } catch (IOException e) {
+                            LOGGER.error("Failed to clean up {}", staging, e);
+                        }
+                    }
+                    server.execute(() -> source.sendError(
+                        Text.literal(String.format("%s failed, see the server log.", export ? "Export" : "Import"))));
+                    return;
+                }
+
+                sendTransferFeedback(source, Text.literal(String.format("%s %d warps and %d homes for %d players%s.",
+                    export ? "Exported" : "Imported", stats.warps(), stats.homes(), stats.players(),
+                    stats.skipped() > 0 ? String.format(" (skipped %d invalid entries)", stats.skipped()) : ""))
+                    .formatted(Formatting.AQUA));
+            } finally {
+                transferRunning.set(false);
+            }
+        });
+
+        return 1;
+    }
+
     // ------ COMMANDS ----------------------------------------------------------------------------------------
 
     MinecraftServer getServer(CommandContext<ServerCommandSource> context) {
@@ -694,6 +1185,20 @@ public class MiniTeleport implements ModInitializer {
                 })
             )
         );
+
+        dispatcher.register(CommandManager.literal("miniteleport")
+            .requires(PERMISSIONS_ADMIN)
+            .then(CommandManager.literal("export")
+                .then(CommandManager.argument("file", StringArgumentType.word())
+                    .executes(context -> startTransfer(context, true))
+                )
+            )
+            .then(CommandManager.literal("import")
+                .then(CommandManager.argument("file", StringArgumentType.word())
+                    .executes(context -> startTransfer(context, false))
+                )
+            )
+        );
     }
 
     // ------ INITIALIZE ----------------------------------------------------------------------------------
@@ -710,8 +1215,26 @@ public class MiniTeleport implements ModInitializer {
             }
         });
 
+        PlayerBlockBreakEvents.AFTER.register(
+            (world, player, pos, state, blockEntity) -> invalidateSafeSpots(world, pos)
+        );
+
         ServerWorldEvents.LOAD.register((server, world) -> createDir(server));
 
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> activeServer = server);
+
+        // let queued writes finish before the world is closed
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> CompletableFuture.runAsync(() -> {
+        }, ioExecutor).join());
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> activeServer = null);
+
+        MiniTeleportApiImpl api = new MiniTeleportApiImpl(this);
+        for (MiniTeleportEntrypoint entrypoint : FabricLoader.getInstance()
+            .getEntrypoints(MOD_ID, MiniTeleportEntrypoint.class)) {
+            entrypoint.onMiniTeleportReady(api);
+        }
+
         LOGGER.info("Initialized!");
     }
 
@@ -0,0 +1,152 @@
+package dev.luxmiyu.miniteleport;
+
+import dev.luxmiyu.miniteleport.api.Warp;
+import dev.luxmiyu.miniteleport.api.MiniTeleportApi;
+import dev.luxmiyu.miniteleport.api.TeleportRequest;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import com.mojang.brigadier.StringReader;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+class MiniTeleportApiImpl implements MiniTeleportApi {
+    final MiniTeleport mod;
+
+    MiniTeleportApiImpl(MiniTeleport mod) {
+        this.mod = mod;
+    }
+
+    MinecraftServer getServer() {
+        MinecraftServer server = mod.activeServer;
+        if (server == null) throw new IllegalStateException("No server is running");
+        return server;
+    }
+
+    // names have to be usable as command arguments, which are parsed with StringArgumentType.word()
+    void validate(Warp warp) {
+        if (warp.name() == null || warp.name().isEmpty() || !warp.name().chars()
+            .allMatch(c -> StringReader.isAllowedInUnquotedString((char) c))) {
+            throw new IllegalArgumentException("Invalid warp name: " + warp.name());
+        }
+        if (warp.dimension() == null || Identifier.tryParse(warp.dimension()) == null) {
+            throw new IllegalArgumentException("Invalid dimension: " + warp.dimension());
+        }
+    }
+
+    // a null owner means warps.json, which the home methods must never reach
+    <T> CompletableFuture<T> nullPlayer() {
+        return CompletableFuture.failedFuture(new IllegalArgumentException("Player UUID can't be null"));
+    }
+
+    CompletableFuture<List<Warp>> list(@Nullable UUID uuid) {
+        return mod.supplyIo(() -> List.of(mod.getWarps(mod.getFile(getServer(), uuid))), mod.ioExecutor);
+    }
+
+    CompletableFuture<Optional<Warp>> get(String name, @Nullable UUID uuid) {
+        return mod.supplyIo(() -> Optional.ofNullable(mod.getWarp(getServer(), name, uuid)), mod.ioExecutor);
+    }
+
+    CompletableFuture<Optional<Warp>> put(Warp warp, @Nullable UUID uuid) {
+        try {
+            validate(warp);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return mod.supplyIo(() -> Optional.ofNullable(mod.putWarp(getServer(), warp, uuid)), mod.ioExecutor);
+    }
+
+    CompletableFuture<Optional<Warp>> remove(String name, @Nullable UUID uuid) {
+        return mod.supplyIo(() -> Optional.ofNullable(mod.removeWarp(getServer(), name, uuid)), mod.ioExecutor);
+    }
+
+    CompletableFuture<Void> preload(ServerWorld world, BlockPos pos) {
+        ChunkPos chunk = new ChunkPos(pos);
+        return world.getChunkManager().getChunkFutureSyncOnMainThread(chunk.x, chunk.z, ChunkStatus.FULL, true)
+            .thenAccept(result -> {
+            });
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public CompletableFuture<List<Warp>> getWarps() {
+        return list(null);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Warp>> getWarp(String name) {
+        return get(name, null);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Warp>> setWarp(Warp warp) {
+        return put(warp, null);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Warp>> deleteWarp(String name) {
+        return remove(name, null);
+    }
+
+    @Override
+    public CompletableFuture<List<Warp>> getHomes(UUID player) {
+        if (player == null) return nullPlayer();
+        return list(player);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Warp>> getHome(UUID player, String name) {
+        if (player == null) return nullPlayer();
+        return get(name, player);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Warp>> setHome(UUID player, Warp home) {
+        if (player == null) return nullPlayer();
+        return put(home, player);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Warp>> deleteHome(UUID player, String name) {
+        if (player == null) return nullPlayer();
+        return remove(name, player);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> teleport(ServerPlayerEntity player, Warp warp) {
+        try {
+            validate(warp);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        MinecraftServer server = player.getEntityWorld().getServer();
+        BlockPos pos = new BlockPos(warp.x(), warp.y(), warp.z());
+
+        return CompletableFuture.supplyAsync(() -> mod.getWorld(server, warp.dimension()), server)
+            .thenCompose(world -> world == null ? CompletableFuture.<Void>completedFuture(null) : preload(world, pos))
+            .thenApplyAsync(result -> !player.isRemoved() && mod.warpPlayer(player, warp) == 1, server);
+    }
+
+    @Override
+    public CompletableFuture<List<TeleportRequest>> getRequests(UUID player) {
+        mod.cleanupExpiredRequests();
+        return CompletableFuture.completedFuture(mod.pendingRequests.stream()
+            .filter(r -> r.sender().equals(player) || r.receiver().equals(player)).toList());
+    }
+}
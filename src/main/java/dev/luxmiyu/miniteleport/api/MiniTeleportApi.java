@@ -0,0 +1,51 @@
+package dev.luxmiyu.miniteleport.api;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Access to MiniTeleport's warps, homes and teleport requests, obtained through {@link MiniTeleportEntrypoint}.
+ * <p>
+ * Warp and home operations run in order on MiniTeleport's own IO thread, together with the writes made by its
+ * commands, and fail with an {@link IllegalStateException} while no server is running. Setters and deleters
+ * complete with the previous value, if there was one.
+ */
+public interface MiniTeleportApi {
+    int VERSION = 1;
+
+    /**
+     * The API version implemented by the installed mod, compare against {@link #VERSION}.
+     */
+    int getVersion();
+
+    CompletableFuture<List<Warp>> getWarps();
+
+    CompletableFuture<Optional<Warp>> getWarp(String name);
+
+    CompletableFuture<Optional<Warp>> setWarp(Warp warp);
+
+    CompletableFuture<Optional<Warp>> deleteWarp(String name);
+
+    CompletableFuture<List<Warp>> getHomes(UUID player);
+
+    CompletableFuture<Optional<Warp>> getHome(UUID player, String name);
+
+    CompletableFuture<Optional<Warp>> setHome(UUID player, Warp home);
+
+    CompletableFuture<Optional<Warp>> deleteHome(UUID player, String name);
+
+    /**
+     * Loads the target chunk without blocking the server thread, then teleports the player like {@code /warp}
+     * would, including the safety check and {@code /back}. Completes with false if the player wasn't moved.
+     */
+    CompletableFuture<Boolean> teleport(ServerPlayerEntity player, Warp warp);
+
+    /**
+     * Unexpired requests sent or received by the player.
+     */
+    CompletableFuture<List<TeleportRequest>> getRequests(UUID player);
+}
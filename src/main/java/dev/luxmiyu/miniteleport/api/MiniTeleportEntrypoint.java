@@ -0,0 +1,10 @@
+package dev.luxmiyu.miniteleport.api;
+
+/**
+ * Entrypoint for mods that use the API. Declare an implementation under the {@code miniteleport} key in your
+ * {@code fabric.mod.json} and it is called once while MiniTeleport initializes.
+ */
+@FunctionalInterface
+public interface MiniTeleportEntrypoint {
+    void onMiniTeleportReady(MiniTeleportApi api);
+}
@@ -0,0 +1,48 @@
+package dev.luxmiyu.miniteleport.api;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+
+import net.minecraft.server.MinecraftServer;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Events fired on the server thread after MiniTeleport data has been written to disk.
+ */
+public final class MiniTeleportEvents {
+    /**
+     * A warp ({@code owner == null}) or home was created, replaced or, if {@code warp} is null, deleted.
+     */
+    public static final Event<WarpChanged> WARP_CHANGED = EventFactory.createArrayBacked(WarpChanged.class,
+        listeners -> (server, owner, name, warp) -> {
+            for (WarpChanged listener : listeners) {
+                listener.onWarpChanged(server, owner, name, warp);
+            }
+        });
+
+    /**
+     * An admin import replaced warps and homes in bulk. No {@link #WARP_CHANGED} events are fired for it.
+     */
+    public static final Event<DataImported> DATA_IMPORTED = EventFactory.createArrayBacked(DataImported.class,
+        listeners -> server -> {
+            for (DataImported listener : listeners) {
+                listener.onDataImported(server);
+            }
+        });
+
+    private MiniTeleportEvents() {
+    }
+
+    @FunctionalInterface
+    public interface WarpChanged {
+        void onWarpChanged(MinecraftServer server, @Nullable UUID owner, String name, @Nullable Warp warp);
+    }
+
+    @FunctionalInterface
+    public interface DataImported {
+        void onDataImported(MinecraftServer server);
+    }
+}
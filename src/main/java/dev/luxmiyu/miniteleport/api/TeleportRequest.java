@@ -0,0 +1,10 @@
+package dev.luxmiyu.miniteleport.api;
+
+import java.util.UUID;
+
+/**
+ * A pending {@code /tpa} ({@code here == false}) or {@code /tpahere} ({@code here == true}) request.
+ * {@code expiry} is in epoch milliseconds.
+ */
+public record TeleportRequest(UUID sender, UUID receiver, boolean here, long expiry) {
+}
@@ -0,0 +1,7 @@
+package dev.luxmiyu.miniteleport.api;
+
+/**
+ * A warp or home, stored as block coordinates in a dimension such as {@code minecraft:overworld}.
+ */
+public record Warp(String name, int x, int y, int z, String dimension) {
+}